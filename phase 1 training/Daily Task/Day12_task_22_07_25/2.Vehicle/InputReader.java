@@ -0,0 +1,290 @@
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.InputMismatchException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// Drop-in replacement for the Scanner calls used by the menus, reading through
+// a byte buffer with hand-written number parsing. Started with
+// "--batch <script>" it replays the script without prompts and times each command.
+public class InputReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final InputStream in;
+    private final boolean interactive;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int length;
+
+    private byte[] token = new byte[64];
+    private int tokenLength;
+
+    // command -> {count, total nanos, max nanos}
+    private final Map<String, long[]> timings = new LinkedHashMap<>();
+
+    public InputReader(InputStream in, boolean interactive) {
+        this.in = in;
+        this.interactive = interactive;
+    }
+
+    public static InputReader fromArgs(String[] args) {
+        if (args.length >= 2 && args[0].equals("--batch")) {
+            try {
+                return new InputReader(new FileInputStream(args[1]), false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open script " + args[1], e);
+            }
+        }
+        return new InputReader(System.in, true);
+    }
+
+    public boolean isInteractive() {
+        return interactive;
+    }
+
+    public void prompt(String text) {
+        if (interactive) {
+            System.out.print(text);
+        }
+    }
+
+    public void show(String text) {
+        if (interactive) {
+            System.out.println(text);
+        }
+    }
+
+    private int read() {
+        if (position == length) {
+            try {
+                length = in.read(buffer, 0, BUFFER_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            position = 0;
+            if (length <= 0) {
+                length = 0;
+                return -1;
+            }
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private int peek() {
+        int c = read();
+        if (c != -1) {
+            position--;
+        }
+        return c;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f';
+    }
+
+    private void skipWhitespace() {
+        int c = peek();
+        while (c != -1 && isWhitespace(c)) {
+            position++;
+            c = peek();
+        }
+    }
+
+    // Skips leading whitespace, so only call it where a token is expected next
+    public boolean hasNextToken() {
+        skipWhitespace();
+        return peek() != -1;
+    }
+
+    private void readToken() {
+        skipWhitespace();
+        tokenLength = 0;
+        int c = peek();
+        if (c == -1) {
+            throw new NoSuchElementException();
+        }
+        while (c != -1 && !isWhitespace(c)) {
+            if (tokenLength == token.length) {
+                byte[] grown = new byte[token.length * 2];
+                System.arraycopy(token, 0, grown, 0, tokenLength);
+                token = grown;
+            }
+            token[tokenLength++] = (byte) c;
+            position++;
+            c = peek();
+        }
+    }
+
+    private String tokenString() {
+        return new String(token, 0, tokenLength);
+    }
+
+    public String next() {
+        readToken();
+        return tokenString();
+    }
+
+    public int nextInt() {
+        readToken();
+        int i = 0;
+        boolean negative = false;
+        if (token[0] == '-' || token[0] == '+') {
+            negative = token[0] == '-';
+            i++;
+        }
+        if (i == tokenLength) {
+            throw new InputMismatchException(tokenString());
+        }
+        // Accumulate negatively so Integer.MIN_VALUE parses without overflow
+        int result = 0;
+        for (; i < tokenLength; i++) {
+            int digit = token[i] - '0';
+            if (digit < 0 || digit > 9 || result < (Integer.MIN_VALUE + digit) / 10) {
+                throw new InputMismatchException(tokenString());
+            }
+            result = result * 10 - digit;
+        }
+        if (!negative) {
+            if (result == Integer.MIN_VALUE) {
+                throw new InputMismatchException(tokenString());
+            }
+            result = -result;
+        }
+        return result;
+    }
+
+    public double nextDouble() {
+        readToken();
+        int i = 0;
+        boolean negative = false;
+        if (token[0] == '-' || token[0] == '+') {
+            negative = token[0] == '-';
+            i++;
+        }
+
+        // Plain decimals with up to 15 significant digits are exact as
+        // mantissa / 10^scale; anything else goes to Double.parseDouble.
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        boolean sawDigit = false;
+        for (; i < tokenLength; i++) {
+            byte c = token[i];
+            if (c == '.' && scale < 0) {
+                scale = 0;
+            } else if (c >= '0' && c <= '9' && digits < 15) {
+                mantissa = mantissa * 10 + (c - '0');
+                sawDigit = true;
+                if (mantissa != 0) {
+                    digits++;
+                }
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else {
+                return parseDoubleSlow();
+            }
+        }
+        if (!sawDigit) {
+            throw new InputMismatchException(tokenString());
+        }
+        if (scale >= POWERS_OF_TEN.length) {
+            return parseDoubleSlow();
+        }
+        double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private double parseDoubleSlow() {
+        try {
+            return Double.parseDouble(tokenString());
+        } catch (NumberFormatException e) {
+            throw new InputMismatchException(tokenString());
+        }
+    }
+
+    public boolean nextBoolean() {
+        readToken();
+        String value = tokenString();
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        } else if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new InputMismatchException(value);
+    }
+
+    // Rest of the current line without the line terminator, like Scanner.nextLine()
+    public String nextLine() {
+        int c = read();
+        if (c == -1) {
+            throw new NoSuchElementException("No line found");
+        }
+        tokenLength = 0;
+        while (c != -1 && c != '\n') {
+            if (tokenLength == token.length) {
+                byte[] grown = new byte[token.length * 2];
+                System.arraycopy(token, 0, grown, 0, tokenLength);
+                token = grown;
+            }
+            token[tokenLength++] = (byte) c;
+            c = read();
+        }
+        if (tokenLength > 0 && token[tokenLength - 1] == '\r') {
+            tokenLength--;
+        }
+        return tokenString();
+    }
+
+    // Discards the rest of the current line. Unlike nextLine() it is fine at
+    // end of input, so a script whose last line has no newline still ends cleanly.
+    public void skipLine() {
+        int c = read();
+        while (c != -1 && c != '\n') {
+            c = read();
+        }
+    }
+
+    public void recordCommand(String command, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        long[] stats = timings.computeIfAbsent(command, k -> new long[3]);
+        stats[0]++;
+        stats[1] += elapsed;
+        stats[2] = Math.max(stats[2], elapsed);
+    }
+
+    // Prints the per-command timings collected in batch mode
+    public void reportTimings() {
+        if (interactive || timings.isEmpty()) {
+            return;
+        }
+        System.out.println("\n--- Command Timings ---");
+        System.out.printf("%-24s %10s %12s %12s %12s%n", "Command", "Count", "Total ms", "Avg us", "Max us");
+        for (Map.Entry<String, long[]> entry : timings.entrySet()) {
+            long[] stats = entry.getValue();
+            System.out.printf("%-24s %10d %12.2f %12.2f %12.2f%n",
+                    entry.getKey(),
+                    stats[0],
+                    stats[1] / 1_000_000.0,
+                    stats[1] / 1_000.0 / stats[0],
+                    stats[2] / 1_000.0);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -68,5 +68,13 @@ public class Main {
         System.out.println("Area of Square: " + square.calculateArea());
         System.out.println("Area of Triangle: " + triangle.calculateArea());
         System.out.println("Area of Rectangle: " + rectangle.calculateArea());
+
+        ShapeBatch batch = new ShapeBatch();
+        batch.addSquare(5);
+        batch.addTriangle(4, 6);
+        batch.addRectangle(4, 7);
+        batch.calculateAreas();
+
+        System.out.println("Total Area (batch): " + batch.getTotalArea());
     }
 }
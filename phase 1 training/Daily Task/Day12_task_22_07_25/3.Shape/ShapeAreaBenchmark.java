@@ -0,0 +1,85 @@
+import java.util.Random;
+
+public class ShapeAreaBenchmark {
+    // Warmup runs for a fixed time so C2 has compiled the kernels before measuring
+    private static final long WARMUP_NANOS = 2_000_000_000L;
+    private static final int MEASURED_ROUNDS = 20;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+
+        Main.Shape[] shapes = new Main.Shape[count];
+        ShapeBatch batch = new ShapeBatch();
+        Random random = new Random(42);
+
+        // Shapes are shuffled by kind so the per-object loop sees a megamorphic call site
+        for (int i = 0; i < count; i++) {
+            double a = 1 + random.nextDouble() * 10;
+            double b = 1 + random.nextDouble() * 10;
+            switch (random.nextInt(3)) {
+                case 0:
+                    shapes[i] = new Main.Square(a);
+                    batch.addSquare(a);
+                    break;
+                case 1:
+                    shapes[i] = new Main.Triangle(a, b);
+                    batch.addTriangle(a, b);
+                    break;
+                default:
+                    shapes[i] = new Main.Rectangle(a, b);
+                    batch.addRectangle(a, b);
+                    break;
+            }
+        }
+
+        System.out.println("Shapes: " + count + ", cores: " + Runtime.getRuntime().availableProcessors());
+
+        double perObject = measure("Per-object calculateArea()", () -> perObjectTotal(shapes));
+
+        batch.setParallel(false);
+        double sequential = measure("ShapeBatch (sequential)", () -> {
+            batch.calculateAreas();
+            return batch.getTotalArea();
+        });
+
+        batch.setParallel(true);
+        double parallel = measure("ShapeBatch (parallel)", () -> {
+            batch.calculateAreas();
+            return batch.getTotalArea();
+        });
+
+        System.out.printf("Speedup sequential: %.2fx%n", perObject / sequential);
+        System.out.printf("Speedup parallel:   %.2fx%n", perObject / parallel);
+    }
+
+    private static double perObjectTotal(Main.Shape[] shapes) {
+        double total = 0.0;
+        for (Main.Shape shape : shapes) {
+            total += shape.calculateArea();
+        }
+        return total;
+    }
+
+    private interface Workload {
+        double run();
+    }
+
+    // Returns the best round in milliseconds
+    private static double measure(String label, Workload workload) {
+        double result = 0.0;
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < warmupEnd) {
+            result = workload.run();
+        }
+
+        double best = Double.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            result = workload.run();
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000.0);
+        }
+
+        System.out.printf("%-30s best %9.3f ms (total area %.1f)%n", label, best, result);
+        return best;
+    }
+}
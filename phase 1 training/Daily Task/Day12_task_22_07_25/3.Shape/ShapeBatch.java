@@ -0,0 +1,178 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+public class ShapeBatch {
+    // Below this many shapes per kind the parallel split costs more than it saves
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int CHUNK_SIZE = 1 << 14;
+    // 1024 doubles = 8 KB, so a block's areas are still in L1 when they are summed
+    private static final int BLOCK_SIZE = 1 << 10;
+
+    private double[] squareSides = new double[16];
+    private int squareCount;
+
+    private double[] triangleBases = new double[16];
+    private double[] triangleHeights = new double[16];
+    private int triangleCount;
+
+    private double[] rectangleLengths = new double[16];
+    private double[] rectangleWidths = new double[16];
+    private int rectangleCount;
+
+    private double[] squareAreas = new double[0];
+    private double[] triangleAreas = new double[0];
+    private double[] rectangleAreas = new double[0];
+
+    private double totalSquareArea;
+    private double totalTriangleArea;
+    private double totalRectangleArea;
+
+    private boolean parallel = true;
+
+    public void addSquare(double side) {
+        if (squareCount == squareSides.length) {
+            squareSides = Arrays.copyOf(squareSides, squareCount * 2);
+        }
+        squareSides[squareCount++] = side;
+    }
+
+    public void addTriangle(double base, double height) {
+        if (triangleCount == triangleBases.length) {
+            triangleBases = Arrays.copyOf(triangleBases, triangleCount * 2);
+            triangleHeights = Arrays.copyOf(triangleHeights, triangleCount * 2);
+        }
+        triangleBases[triangleCount] = base;
+        triangleHeights[triangleCount] = height;
+        triangleCount++;
+    }
+
+    public void addRectangle(double length, double width) {
+        if (rectangleCount == rectangleLengths.length) {
+            rectangleLengths = Arrays.copyOf(rectangleLengths, rectangleCount * 2);
+            rectangleWidths = Arrays.copyOf(rectangleWidths, rectangleCount * 2);
+        }
+        rectangleLengths[rectangleCount] = length;
+        rectangleWidths[rectangleCount] = width;
+        rectangleCount++;
+    }
+
+    public void calculateAreas() {
+        if (squareAreas.length != squareCount) {
+            squareAreas = new double[squareCount];
+        }
+        if (triangleAreas.length != triangleCount) {
+            triangleAreas = new double[triangleCount];
+        }
+        if (rectangleAreas.length != rectangleCount) {
+            rectangleAreas = new double[rectangleCount];
+        }
+
+        totalSquareArea = run(squareCount, (from, to) -> squareAreas(from, to));
+        totalTriangleArea = run(triangleCount, (from, to) -> triangleAreas(from, to));
+        totalRectangleArea = run(rectangleCount, (from, to) -> rectangleAreas(from, to));
+    }
+
+    private interface ChunkKernel {
+        double apply(int from, int to);
+    }
+
+    private double run(int count, ChunkKernel kernel) {
+        if (!parallel || count < PARALLEL_THRESHOLD) {
+            return kernel.apply(0, count);
+        }
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToDouble(c -> kernel.apply(c * CHUNK_SIZE, Math.min(count, (c + 1) * CHUNK_SIZE)))
+                .sum();
+    }
+
+    // Each kernel works through the range in L1-sized blocks: one loop writes
+    // the block's areas, a second adds them up. The store loop has no
+    // loop-carried value, so C2 compiles it to SIMD code; keeping a running
+    // total in the same loop would stop that.
+    private double squareAreas(int from, int to) {
+        double[] sides = squareSides;
+        double[] areas = squareAreas;
+        double total = 0.0;
+        for (int start = from; start < to; start += BLOCK_SIZE) {
+            int end = Math.min(to, start + BLOCK_SIZE);
+            for (int i = start; i < end; i++) {
+                areas[i] = sides[i] * sides[i];
+            }
+            total += sum(areas, start, end);
+        }
+        return total;
+    }
+
+    private double triangleAreas(int from, int to) {
+        double[] bases = triangleBases;
+        double[] heights = triangleHeights;
+        double[] areas = triangleAreas;
+        double total = 0.0;
+        for (int start = from; start < to; start += BLOCK_SIZE) {
+            int end = Math.min(to, start + BLOCK_SIZE);
+            for (int i = start; i < end; i++) {
+                areas[i] = 0.5 * bases[i] * heights[i];
+            }
+            total += sum(areas, start, end);
+        }
+        return total;
+    }
+
+    private double rectangleAreas(int from, int to) {
+        double[] lengths = rectangleLengths;
+        double[] widths = rectangleWidths;
+        double[] areas = rectangleAreas;
+        double total = 0.0;
+        for (int start = from; start < to; start += BLOCK_SIZE) {
+            int end = Math.min(to, start + BLOCK_SIZE);
+            for (int i = start; i < end; i++) {
+                areas[i] = lengths[i] * widths[i];
+            }
+            total += sum(areas, start, end);
+        }
+        return total;
+    }
+
+    // Eight independent partial sums so the adds are not one serial dependency chain
+    private static double sum(double[] values, int from, int to) {
+        double s0 = 0.0, s1 = 0.0, s2 = 0.0, s3 = 0.0;
+        double s4 = 0.0, s5 = 0.0, s6 = 0.0, s7 = 0.0;
+        int i = from;
+        for (; i + 7 < to; i += 8) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+            s4 += values[i + 4];
+            s5 += values[i + 5];
+            s6 += values[i + 6];
+            s7 += values[i + 7];
+        }
+        for (; i < to; i++) {
+            s0 += values[i];
+        }
+        return ((s0 + s1) + (s2 + s3)) + ((s4 + s5) + (s6 + s7));
+    }
+
+    public int getSquareCount() { return squareCount; }
+    public int getTriangleCount() { return triangleCount; }
+    public int getRectangleCount() { return rectangleCount; }
+    public int size() { return squareCount + triangleCount + rectangleCount; }
+
+    public double getSquareArea(int index) { return squareAreas[index]; }
+    public double getTriangleArea(int index) { return triangleAreas[index]; }
+    public double getRectangleArea(int index) { return rectangleAreas[index]; }
+
+    public double getTotalSquareArea() { return totalSquareArea; }
+    public double getTotalTriangleArea() { return totalTriangleArea; }
+    public double getTotalRectangleArea() { return totalRectangleArea; }
+
+    public double getTotalArea() {
+        return totalSquareArea + totalTriangleArea + totalRectangleArea;
+    }
+
+    public boolean isParallel() { return parallel; }
+    public void setParallel(boolean parallel) { this.parallel = parallel; }
+}
@@ -1,7 +1,7 @@
 public class Associate {
     private int associateId;
     private String associateName;
-    private String workStatus;
+    private WorkStatus workStatus;
 
 
     public Associate() {
@@ -11,7 +11,7 @@ public class Associate {
     public Associate(int associateId, String associateName, String workStatus) {
         this.associateId = associateId;
         this.associateName = associateName;
-        this.workStatus = workStatus;
+        setWorkStatus(workStatus);
     }
 
   
@@ -34,24 +34,24 @@ public class Associate {
 
     
     public String getWorkStatus() {
-        return workStatus;
+        return workStatus == null ? null : workStatus.getLabel();
     }
 
     public void setWorkStatus(String workStatus) {
+        this.workStatus = workStatus == null ? null : WorkStatus.fromLabel(workStatus);
+    }
+
+    public WorkStatus getStatus() {
+        return workStatus;
+    }
+
+    public void setStatus(WorkStatus workStatus) {
         this.workStatus = workStatus;
     }
 
   
     public void trackAssociateStatus(int days) {
-        if (days <= 20) {
-            this.workStatus = "Learning Core skills";
-        } else if (days <= 40) {
-            this.workStatus = "Learning Advanced modules";
-        } else if (days <= 60) {
-            this.workStatus = "In Project phase";
-        } else {
-            this.workStatus = "Deployed in project";
-        }
+        this.workStatus = WorkStatus.forDays(days);
     }
 
     
@@ -0,0 +1,113 @@
+import java.util.HashMap;
+import java.util.Map;
+
+public class AssociateTrackingService {
+    // The id and indexed status are kept here rather than read back from the
+    // Associate, which getAssociate() hands out and callers can change.
+    private static class TrackedAssociate {
+        final Associate associate;
+        final int associateId;
+        final int trainingStartDay;
+        WorkStatus indexedStatus;
+        int nextTransitionDay = -1;
+
+        TrackedAssociate(Associate associate, int trainingStartDay) {
+            this.associate = associate;
+            this.associateId = associate.getAssociateId();
+            this.trainingStartDay = trainingStartDay;
+        }
+    }
+
+    private final Map<Integer, TrackedAssociate> associates = new HashMap<>();
+    private final TimingWheel<TrackedAssociate> wheel;
+    private final StatusIndex index = new StatusIndex();
+    private int transitions;
+
+    public AssociateTrackingService(int currentDay) {
+        this.wheel = new TimingWheel<>(currentDay);
+    }
+
+    public int getCurrentDay() {
+        return (int) wheel.getCurrentTick();
+    }
+
+    public int size() {
+        return associates.size();
+    }
+
+    public int getPendingTransitions() {
+        return wheel.size();
+    }
+
+    public StatusIndex getIndex() {
+        return index;
+    }
+
+    public Associate getAssociate(int associateId) {
+        TrackedAssociate tracked = associates.get(associateId);
+        return tracked == null ? null : tracked.associate;
+    }
+
+    public void addAssociate(Associate associate, int trainingStartDay) {
+        // Checked before anything changes; StatusIndex would only reject it
+        // after the associate had been stored and scheduled
+        if (associate.getAssociateId() < 0) {
+            throw new IllegalArgumentException("Associate ID must not be negative: " + associate.getAssociateId());
+        }
+        if (trainingStartDay > getCurrentDay()) {
+            throw new IllegalArgumentException("Training start day " + trainingStartDay + " is in the future");
+        }
+        TrackedAssociate tracked = new TrackedAssociate(associate, trainingStartDay);
+        TrackedAssociate previous = associates.put(tracked.associateId, tracked);
+        refresh(tracked);
+        if (previous == null) {
+            index.add(tracked.associateId, tracked.indexedStatus);
+        } else {
+            previous.nextTransitionDay = -1;
+            index.move(tracked.associateId, previous.indexedStatus, tracked.indexedStatus);
+        }
+    }
+
+    public Associate removeAssociate(int associateId) {
+        TrackedAssociate tracked = associates.remove(associateId);
+        if (tracked == null) {
+            return null;
+        }
+        // The wheel entry is left in place and ignored when it fires
+        tracked.nextTransitionDay = -1;
+        index.remove(associateId, tracked.indexedStatus);
+        return tracked.associate;
+    }
+
+    // Advances the clock to the given day and returns how many associates
+    // changed status on the way.
+    public int advanceTo(int day) {
+        transitions = 0;
+        wheel.advanceTo(day, this::onTransition);
+        return transitions;
+    }
+
+    private void onTransition(TrackedAssociate tracked) {
+        if (tracked.nextTransitionDay != getCurrentDay()) {
+            return;
+        }
+        WorkStatus before = tracked.indexedStatus;
+        refresh(tracked);
+        index.move(tracked.associateId, before, tracked.indexedStatus);
+        transitions++;
+    }
+
+    private void refresh(TrackedAssociate tracked) {
+        int days = getCurrentDay() - tracked.trainingStartDay;
+        tracked.associate.trackAssociateStatus(days);
+        tracked.indexedStatus = WorkStatus.forDays(days);
+
+        int boundary = tracked.indexedStatus.nextBoundary();
+        if (boundary < 0) {
+            tracked.nextTransitionDay = -1;
+            return;
+        }
+        tracked.nextTransitionDay = tracked.trainingStartDay + boundary;
+        wheel.schedule(tracked, tracked.nextTransitionDay);
+    }
+}
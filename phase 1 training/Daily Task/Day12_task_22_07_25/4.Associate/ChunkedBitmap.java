@@ -0,0 +1,152 @@
+import java.util.Map;
+import java.util.TreeMap;
+
+// Set of non-negative ints stored as 4096-bit chunks keyed by id >>> 12. Only
+// chunks holding at least one id are allocated, so memory follows the ids in
+// use rather than the largest one. Not thread-safe.
+public class ChunkedBitmap {
+    private static final int CHUNK_BITS = 12;
+    private static final int WORDS_PER_CHUNK = (1 << CHUNK_BITS) / 64;
+
+    private final TreeMap<Integer, long[]> chunks = new TreeMap<>();
+    private int cardinality;
+
+    public static ChunkedBitmap of(int... ids) {
+        ChunkedBitmap bitmap = new ChunkedBitmap();
+        for (int id : ids) {
+            bitmap.set(id);
+        }
+        return bitmap;
+    }
+
+    private static void checkId(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Id must not be negative: " + id);
+        }
+    }
+
+    // Returns true if the id was not already present
+    public boolean set(int id) {
+        checkId(id);
+        long[] words = chunks.computeIfAbsent(id >>> CHUNK_BITS, k -> new long[WORDS_PER_CHUNK]);
+        int word = (id >>> 6) & (WORDS_PER_CHUNK - 1);
+        long mask = 1L << id;
+        if ((words[word] & mask) != 0) {
+            return false;
+        }
+        words[word] |= mask;
+        cardinality++;
+        return true;
+    }
+
+    // Returns true if the id was present
+    public boolean clear(int id) {
+        if (id < 0) {
+            return false;
+        }
+        long[] words = chunks.get(id >>> CHUNK_BITS);
+        if (words == null) {
+            return false;
+        }
+        int word = (id >>> 6) & (WORDS_PER_CHUNK - 1);
+        long mask = 1L << id;
+        if ((words[word] & mask) == 0) {
+            return false;
+        }
+        words[word] &= ~mask;
+        cardinality--;
+        if (isEmpty(words)) {
+            chunks.remove(id >>> CHUNK_BITS);
+        }
+        return true;
+    }
+
+    public boolean get(int id) {
+        if (id < 0) {
+            return false;
+        }
+        long[] words = chunks.get(id >>> CHUNK_BITS);
+        return words != null && (words[(id >>> 6) & (WORDS_PER_CHUNK - 1)] & (1L << id)) != 0;
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public ChunkedBitmap copy() {
+        ChunkedBitmap copy = new ChunkedBitmap();
+        for (Map.Entry<Integer, long[]> entry : chunks.entrySet()) {
+            copy.chunks.put(entry.getKey(), entry.getValue().clone());
+        }
+        copy.cardinality = cardinality;
+        return copy;
+    }
+
+    public ChunkedBitmap and(ChunkedBitmap other) {
+        ChunkedBitmap result = new ChunkedBitmap();
+        ChunkedBitmap smaller = chunks.size() <= other.chunks.size() ? this : other;
+        ChunkedBitmap larger = smaller == this ? other : this;
+        for (Map.Entry<Integer, long[]> entry : smaller.chunks.entrySet()) {
+            long[] theirs = larger.chunks.get(entry.getKey());
+            if (theirs == null) {
+                continue;
+            }
+            long[] ours = entry.getValue();
+            long[] words = new long[WORDS_PER_CHUNK];
+            int bits = 0;
+            for (int i = 0; i < WORDS_PER_CHUNK; i++) {
+                words[i] = ours[i] & theirs[i];
+                bits += Long.bitCount(words[i]);
+            }
+            if (bits > 0) {
+                result.chunks.put(entry.getKey(), words);
+                result.cardinality += bits;
+            }
+        }
+        return result;
+    }
+
+    public int andCardinality(ChunkedBitmap other) {
+        ChunkedBitmap smaller = chunks.size() <= other.chunks.size() ? this : other;
+        ChunkedBitmap larger = smaller == this ? other : this;
+        int bits = 0;
+        for (Map.Entry<Integer, long[]> entry : smaller.chunks.entrySet()) {
+            long[] theirs = larger.chunks.get(entry.getKey());
+            if (theirs == null) {
+                continue;
+            }
+            long[] ours = entry.getValue();
+            for (int i = 0; i < WORDS_PER_CHUNK; i++) {
+                bits += Long.bitCount(ours[i] & theirs[i]);
+            }
+        }
+        return bits;
+    }
+
+    // Ids in ascending order
+    public int[] toArray() {
+        int[] ids = new int[cardinality];
+        int n = 0;
+        for (Map.Entry<Integer, long[]> entry : chunks.entrySet()) {
+            int base = entry.getKey() << CHUNK_BITS;
+            long[] words = entry.getValue();
+            for (int i = 0; i < WORDS_PER_CHUNK; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    ids[n++] = base + i * 64 + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static boolean isEmpty(long[] words) {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
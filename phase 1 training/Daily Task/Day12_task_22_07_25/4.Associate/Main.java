@@ -1,30 +1,37 @@
-import java.util.Scanner;
-
 public class Main {
     public static void main(String[] args) {
-       
-        Associate associate = new Associate();
 
-       
-        Scanner sc = new Scanner(System.in);
+        InputReader sc = InputReader.fromArgs(args);
+        try {
+            trackAssociates(sc);
+        } finally {
+            sc.reportTimings();
+            sc.close();
+        }
+    }
+
+    private static void trackAssociates(InputReader sc) {
+        // A batch script holds one associate record after another
+        do {
+            Associate associate = new Associate();
+            long start = System.nanoTime();
+
+            sc.prompt("Enter Associate ID: ");
+            associate.setAssociateId(sc.nextInt());
+            sc.skipLine();
+            sc.prompt("Enter Associate Name: ");
+            associate.setAssociateName(sc.nextLine());
+
 
-        System.out.print("Enter Associate ID: ");
-        associate.setAssociateId(sc.nextInt());
-        sc.nextLine(); 
-        System.out.print("Enter Associate Name: ");
-        associate.setAssociateName(sc.nextLine());
+            sc.prompt("Enter the number of days of training completed: ");
+            int days = sc.nextInt();
 
-       
-        System.out.print("Enter the number of days of training completed: ");
-        int days = sc.nextInt();
 
-      
-        associate.trackAssociateStatus(days);
+            associate.trackAssociateStatus(days);
 
-        
-        associate.displayDetails();
 
-        
-        sc.close();
+            associate.displayDetails();
+            sc.recordCommand("Track associate", start);
+        } while (!sc.isInteractive() && sc.hasNextToken());
     }
 }
@@ -0,0 +1,63 @@
+// One chunked bitmap of associate ids per work status. Counts come from each
+// bitmap's running cardinality. All methods are synchronized so a transition
+// is never seen half-applied.
+public class StatusIndex {
+    private final ChunkedBitmap[] members = new ChunkedBitmap[WorkStatus.values().length];
+
+    public StatusIndex() {
+        for (int i = 0; i < members.length; i++) {
+            members[i] = new ChunkedBitmap();
+        }
+    }
+
+    public synchronized void add(int associateId, WorkStatus status) {
+        checkId(associateId);
+        members[status.ordinal()].set(associateId);
+    }
+
+    public synchronized void remove(int associateId, WorkStatus status) {
+        checkId(associateId);
+        members[status.ordinal()].clear(associateId);
+    }
+
+    public synchronized void move(int associateId, WorkStatus from, WorkStatus to) {
+        if (from == to) {
+            return;
+        }
+        remove(associateId, from);
+        add(associateId, to);
+    }
+
+    public synchronized int count(WorkStatus status) {
+        return members[status.ordinal()].cardinality();
+    }
+
+    public synchronized boolean contains(int associateId, WorkStatus status) {
+        return members[status.ordinal()].get(associateId);
+    }
+
+    public synchronized ChunkedBitmap members(WorkStatus status) {
+        return members[status.ordinal()].copy();
+    }
+
+    public synchronized ChunkedBitmap intersect(WorkStatus status, ChunkedBitmap roster) {
+        return members[status.ordinal()].and(roster);
+    }
+
+    public synchronized int countIntersection(WorkStatus status, ChunkedBitmap roster) {
+        return members[status.ordinal()].andCardinality(roster);
+    }
+
+    public static ChunkedBitmap roster(int... associateIds) {
+        for (int associateId : associateIds) {
+            checkId(associateId);
+        }
+        return ChunkedBitmap.of(associateIds);
+    }
+
+    private static void checkId(int associateId) {
+        if (associateId < 0) {
+            throw new IllegalArgumentException("Associate ID must not be negative: " + associateId);
+        }
+    }
+}
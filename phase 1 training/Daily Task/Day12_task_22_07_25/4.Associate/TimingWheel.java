@@ -0,0 +1,109 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Hierarchical timing wheel keyed by absolute tick. Each level has 64 slots;
+// an item sits at the lowest level whose range still contains both the
+// current tick and its due tick, and is cascaded down as the clock reaches it.
+public class TimingWheel<T> {
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private static class Entry<T> {
+        final T item;
+        final long dueTick;
+
+        Entry(T item, long dueTick) {
+            this.item = item;
+            this.dueTick = dueTick;
+        }
+    }
+
+    private final List<List<Entry<T>>> slots = new ArrayList<>();
+    private List<Entry<T>> overflow = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void schedule(T item, long dueTick) {
+        if (dueTick <= currentTick) {
+            throw new IllegalArgumentException("Due tick " + dueTick + " is not after current tick " + currentTick);
+        }
+        place(new Entry<>(item, dueTick));
+        size++;
+    }
+
+    private void place(Entry<T> entry) {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = BITS * (level + 1);
+            if ((entry.dueTick >>> shift) == (currentTick >>> shift)) {
+                int index = (int) (entry.dueTick >>> (BITS * level)) & MASK;
+                slots.get(level * SLOTS + index).add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    // Moves the clock forward one tick at a time, handing every item that
+    // falls due to the callback. Work per tick is proportional to the number
+    // of items that fire or cascade, not to the number scheduled.
+    public void advanceTo(long tick, Consumer<T> onDue) {
+        while (currentTick < tick) {
+            currentTick++;
+            cascade();
+
+            List<Entry<T>> due = slots.get((int) currentTick & MASK);
+            if (due.isEmpty()) {
+                continue;
+            }
+            slots.set((int) currentTick & MASK, new ArrayList<>());
+            size -= due.size();
+            for (Entry<T> entry : due) {
+                onDue.accept(entry.item);
+            }
+        }
+    }
+
+    private void cascade() {
+        int top = 0;
+        while (top < LEVELS && (currentTick & ((1L << (BITS * (top + 1))) - 1)) == 0) {
+            top++;
+        }
+        if (top == LEVELS) {
+            List<Entry<T>> pending = overflow;
+            overflow = new ArrayList<>();
+            for (Entry<T> entry : pending) {
+                place(entry);
+            }
+            top = LEVELS - 1;
+        }
+        for (int level = top; level >= 1; level--) {
+            int index = (int) (currentTick >>> (BITS * level)) & MASK;
+            List<Entry<T>> pending = slots.get(level * SLOTS + index);
+            if (pending.isEmpty()) {
+                continue;
+            }
+            slots.set(level * SLOTS + index, new ArrayList<>());
+            for (Entry<T> entry : pending) {
+                place(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+public enum WorkStatus {
+    LEARNING_CORE_SKILLS("Learning Core skills", 20),
+    LEARNING_ADVANCED_MODULES("Learning Advanced modules", 40),
+    IN_PROJECT_PHASE("In Project phase", 60),
+    DEPLOYED_IN_PROJECT("Deployed in project", Integer.MAX_VALUE);
+
+    private static final WorkStatus[] VALUES = values();
+
+    private final String label;
+    private final int lastDay;
+
+    WorkStatus(String label, int lastDay) {
+        this.label = label;
+        this.lastDay = lastDay;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    // First day count that moves an associate out of this status, or -1 for the final one
+    public int nextBoundary() {
+        return lastDay == Integer.MAX_VALUE ? -1 : lastDay + 1;
+    }
+
+    public static WorkStatus forDays(int days) {
+        for (WorkStatus status : VALUES) {
+            if (days <= status.lastDay) {
+                return status;
+            }
+        }
+        return DEPLOYED_IN_PROJECT;
+    }
+
+    public static WorkStatus fromLabel(String label) {
+        for (WorkStatus status : VALUES) {
+            if (status.label.equalsIgnoreCase(label)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown work status: " + label);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -2,33 +2,46 @@ import java.util.*;
 
 public class Main {
     public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
+        InputReader sc = InputReader.fromArgs(args);
+        try {
+            runMenu(sc);
+        } finally {
+            sc.reportTimings();
+            sc.close();
+        }
+    }
+
+    private static void runMenu(InputReader sc) {
         PackageService service = new PackageServiceImpl();
 
         while (true) {
-            System.out.println("\n--- Holiday Package Menu ---");
-            System.out.println("1. Add Package details");
-            System.out.println("2. Display all package details");
-            System.out.println("3. Search for a package with package id");
-            System.out.println("4. Calculate package cost based on package id");
-            System.out.println("5. Exit");
-            System.out.print("Enter your choice: ");
+            sc.show("\n--- Holiday Package Menu ---");
+            sc.show("1. Add Package details");
+            sc.show("2. Display all package details");
+            sc.show("3. Search for a package with package id");
+            sc.show("4. Calculate package cost based on package id");
+            sc.show("5. Exit");
+            sc.prompt("Enter your choice: ");
 
+            if (!sc.hasNextToken()) {
+                break;
+            }
             int choice = sc.nextInt();
-            sc.nextLine(); 
+            sc.skipLine();
+            long start = System.nanoTime();
 
             try {
                 switch (choice) {
                     case 1:
-                        System.out.print("Enter Package Id: ");
+                        sc.prompt("Enter Package Id: ");
                         String id = sc.nextLine();
-                        System.out.print("Enter Source Place: ");
+                        sc.prompt("Enter Source Place: ");
                         String source = sc.nextLine();
-                        System.out.print("Enter Destination Place: ");
+                        sc.prompt("Enter Destination Place: ");
                         String dest = sc.nextLine();
-                        System.out.print("Enter No. of Days: ");
+                        sc.prompt("Enter No. of Days: ");
                         int days = sc.nextInt();
-                        System.out.print("Enter Basic Fare: ");
+                        sc.prompt("Enter Basic Fare: ");
                         double fare = sc.nextDouble();
 
                         Package p = new Package(id, source, dest, days, fare);
@@ -49,7 +62,7 @@ public class Main {
                         break;
 
                     case 3:
-                        System.out.print("Enter Package Id to search: ");
+                        sc.prompt("Enter Package Id to search: ");
                         String searchId = sc.nextLine();
                         Package found = service.findPackageById(searchId);
                         if (found != null) {
@@ -60,7 +73,7 @@ public class Main {
                         break;
 
                     case 4:
-                        System.out.print("Enter Package Id to calculate cost: ");
+                        sc.prompt("Enter Package Id to calculate cost: ");
                         String calcId = sc.nextLine();
                         service.calculatePackageCost(calcId);
                         Package updated = service.findPackageById(calcId);
@@ -69,7 +82,7 @@ public class Main {
 
                     case 5:
                         System.out.println("Exiting...");
-                        System.exit(0);
+                        return;
 
                     default:
                         System.out.println("Invalid choice.");
@@ -77,6 +90,7 @@ public class Main {
             } catch (InvalidPackageIdException e) {
                 System.out.println("Error: " + e.getMessage());
             }
+            sc.recordCommand("Option " + choice, start);
         }
     }
 }
@@ -0,0 +1,435 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Drives PackageServiceImpl with a weighted mix of operations and reports
+// throughput and latency percentiles.
+//
+//   java PackageLoadGenerator --threads=8 --mode=open --rate=2000 --catalog=100000
+//
+// Options (defaults in brackets):
+//   --threads   worker count [4]
+//   --virtual   run workers on virtual threads, Java 21+ [false]
+//   --mode      closed: each worker sends its next call as soon as the last returns
+//               open:   calls are issued on a fixed schedule of --rate per second [closed]
+//   --rate      target calls per second over all workers; required for open.
+//               In closed mode it only sets the correction interval, and without
+//               it closed-loop latencies are reported as uncorrected [0]
+//   --catalog   packages loaded before the run [10000]. Each package holds about
+//               100 bytes of live heap, so --catalog=10000000 needs about 1 GB
+//               plus whatever the run adds; give it -Xmx2g or more
+//   --warmup    seconds run before measuring starts [5]
+//   --duration  measured seconds [30]
+//   --mix       operation weights [add:5,find:70,cost:20,all:5]
+//
+// Latency is measured from when a call was due to start, not when it was sent,
+// so a stalled service is not hidden by workers that stopped sending
+// (coordinated omission). Open-loop workers stop at the end of the run; calls
+// still queued then are reported as dropped, next to the achieved rate.
+public class PackageLoadGenerator {
+    enum Operation {
+        ADD("add"), FIND("find"), COST("cost"), ALL("all");
+
+        final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        static Operation fromLabel(String label) {
+            for (Operation op : values()) {
+                if (op.label.equalsIgnoreCase(label)) {
+                    return op;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation: " + label);
+        }
+    }
+
+    private static class WorkerResult {
+        final LatencyHistogram[] histograms = new LatencyHistogram[Operation.values().length];
+        final long[] calls = new long[Operation.values().length];
+        final long[] errors = new long[Operation.values().length];
+        // Open loop: measured calls whose start time passed the end of the
+        // run before the worker got to send them
+        long dropped;
+        long lastCompletion;
+
+        WorkerResult() {
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LatencyHistogram();
+            }
+        }
+    }
+
+    private final PackageService service = new PackageServiceImpl();
+    // PackageDaoImpl is a plain ArrayList, so concurrent callers share one lock:
+    // lookups take the read side, anything that writes a Package takes the write side.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Next id for ADD; lookups stay inside the preloaded catalog so they
+    // never race an insert that has taken its id but not reached the list.
+    private final AtomicLong packageCount = new AtomicLong();
+
+    private int threads = 4;
+    private boolean virtual;
+    private boolean openLoop;
+    private double rate;
+    private int catalogSize = 10_000;
+    private int warmupSeconds = 5;
+    private int durationSeconds = 30;
+    private final int[] weights = {5, 70, 20, 5};
+    private int totalWeight;
+
+    public static void main(String[] args) throws Exception {
+        PackageLoadGenerator generator = new PackageLoadGenerator();
+        generator.configure(args);
+        generator.loadCatalog();
+        generator.run();
+    }
+
+    private void configure(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            String value = option.getValue();
+            switch (option.getKey()) {
+                case "threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "virtual":
+                    virtual = Boolean.parseBoolean(value);
+                    break;
+                case "mode":
+                    if (!value.equals("open") && !value.equals("closed")) {
+                        throw new IllegalArgumentException("Mode must be open or closed: " + value);
+                    }
+                    openLoop = value.equals("open");
+                    break;
+                case "rate":
+                    rate = Double.parseDouble(value);
+                    break;
+                case "catalog":
+                    catalogSize = Integer.parseInt(value);
+                    break;
+                case "warmup":
+                    warmupSeconds = Integer.parseInt(value);
+                    break;
+                case "duration":
+                    durationSeconds = Integer.parseInt(value);
+                    break;
+                case "mix":
+                    parseMix(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: --" + option.getKey());
+            }
+        }
+
+        if (threads < 1 || catalogSize < 1 || durationSeconds < 1 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("threads, catalog and duration must be positive");
+        }
+        if (openLoop && rate <= 0) {
+            throw new IllegalArgumentException("Open-loop mode needs --rate");
+        }
+        for (int weight : weights) {
+            totalWeight += weight;
+        }
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("Operation mix must have a positive weight");
+        }
+    }
+
+    private void parseMix(String mix) {
+        Arrays.fill(weights, 0);
+        for (String part : mix.split(",")) {
+            String[] pair = part.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected op:weight in mix but got: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix: " + part);
+            }
+            weights[Operation.fromLabel(pair[0].trim()).ordinal()] = weight;
+        }
+    }
+
+    // Ids are 'P' plus six base-36 digits, which keeps them at the
+    // seven characters PackageServiceImpl requires for up to 2 billion packages.
+    static String packageId(long n) {
+        String digits = Long.toString(n, 36).toUpperCase();
+        StringBuilder id = new StringBuilder("P");
+        for (int i = digits.length(); i < 6; i++) {
+            id.append('0');
+        }
+        return id.append(digits).toString();
+    }
+
+    // Shared place names, so a large catalog only pays for each package's id
+    private static final String[] SOURCES = placeNames("Source", 100);
+    private static final String[] DESTINATIONS = placeNames("Destination", 250);
+
+    private static String[] placeNames(String prefix, int count) {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = prefix + i;
+        }
+        return names;
+    }
+
+    private static Package newPackage(long n) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new Package(packageId(n), SOURCES[(int) (n % SOURCES.length)],
+                DESTINATIONS[(int) (n % DESTINATIONS.length)],
+                1 + random.nextInt(15), 500 + random.nextInt(5000));
+    }
+
+    private void loadCatalog() throws InvalidPackageIdException {
+        long start = System.nanoTime();
+        for (int i = 0; i < catalogSize; i++) {
+            service.addPackage(newPackage(i));
+        }
+        packageCount.set(catalogSize);
+        System.out.printf("Loaded %d packages in %.1f ms%n", catalogSize, (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    private ExecutorService newExecutor() {
+        if (virtual) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                System.out.println("Virtual threads need Java 21 or later; using platform threads.");
+                virtual = false;
+            }
+        }
+        return Executors.newFixedThreadPool(threads);
+    }
+
+    private void run() throws Exception {
+        long intervalNanos = rate > 0 ? (long) (threads * 1_000_000_000.0 / rate) : 0;
+        long start = System.nanoTime() + 10_000_000;
+        long measureStart = start + warmupSeconds * 1_000_000_000L;
+        long end = measureStart + durationSeconds * 1_000_000_000L;
+
+        ExecutorService executor = newExecutor();
+        List<Future<WorkerResult>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            // Stagger open-loop schedules so workers don't fire in lockstep
+            long firstDue = start + (intervalNanos * i) / threads;
+            futures.add(executor.submit(() -> work(firstDue, intervalNanos, measureStart, end)));
+        }
+
+        WorkerResult total = new WorkerResult();
+        for (Future<WorkerResult> future : futures) {
+            WorkerResult result = future.get();
+            for (int i = 0; i < total.histograms.length; i++) {
+                total.histograms[i].add(result.histograms[i]);
+                total.calls[i] += result.calls[i];
+                total.errors[i] += result.errors[i];
+            }
+            total.dropped += result.dropped;
+            total.lastCompletion = Math.max(total.lastCompletion, result.lastCompletion);
+        }
+        executor.shutdown();
+
+        // A worker's last call can finish after the deadline, so rates are
+        // taken over the time actually spent, never less than --duration
+        long elapsed = Math.max(end, total.lastCompletion) - measureStart;
+        report(total, elapsed, intervalNanos);
+    }
+
+    private WorkerResult work(long firstDue, long intervalNanos, long measureStart, long end) {
+        WorkerResult result = new WorkerResult();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long due = firstDue;
+
+        while (true) {
+            long intended;
+            if (openLoop) {
+                intended = due;
+                due += intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                // Out of time with calls still queued: stop sending and
+                // count the measured ones as dropped rather than running late
+                if (System.nanoTime() >= end) {
+                    result.dropped += scheduledBetween(intended, intervalNanos, measureStart, end);
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                while (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    wait = intended - System.nanoTime();
+                }
+            } else {
+                intended = System.nanoTime();
+                if (intended >= end) {
+                    break;
+                }
+            }
+
+            Operation op = pickOperation(random);
+            boolean ok = execute(op, random);
+            long completed = System.nanoTime();
+            long latency = completed - intended;
+            result.lastCompletion = completed;
+
+            if (intended < measureStart) {
+                continue;
+            }
+            result.calls[op.ordinal()]++;
+            if (!ok) {
+                result.errors[op.ordinal()]++;
+            }
+            if (openLoop) {
+                result.histograms[op.ordinal()].record(latency);
+            } else {
+                result.histograms[op.ordinal()].recordWithExpectedInterval(latency, intervalNanos);
+            }
+        }
+        return result;
+    }
+
+    // Number of slots first, first + interval, ... that fall in [from, to)
+    private static long scheduledBetween(long first, long intervalNanos, long from, long to) {
+        long skip = first < from ? (from - first + intervalNanos - 1) / intervalNanos : 0;
+        long total = (to - first + intervalNanos - 1) / intervalNanos;
+        return Math.max(0, total - skip);
+    }
+
+    private Operation pickOperation(ThreadLocalRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (Operation op : Operation.values()) {
+            roll -= weights[op.ordinal()];
+            if (roll < 0) {
+                return op;
+            }
+        }
+        return Operation.FIND;
+    }
+
+    private boolean execute(Operation op, ThreadLocalRandom random) {
+        try {
+            switch (op) {
+                case ADD: {
+                    Package p = newPackage(packageCount.getAndIncrement());
+                    lock.writeLock().lock();
+                    try {
+                        service.addPackage(p);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    return true;
+                }
+                case FIND: {
+                    String id = packageId(random.nextInt(catalogSize));
+                    lock.readLock().lock();
+                    try {
+                        return service.findPackageById(id) != null;
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                }
+                case COST: {
+                    String id = packageId(random.nextInt(catalogSize));
+                    lock.writeLock().lock();
+                    try {
+                        service.calculatePackageCost(id);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    return true;
+                }
+                default: {
+                    lock.readLock().lock();
+                    try {
+                        return service.fetchAllPackages().size() > 0;
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                }
+            }
+        } catch (InvalidPackageIdException e) {
+            return false;
+        }
+    }
+
+    private void report(WorkerResult total, long elapsedNanos, long intervalNanos) {
+        LatencyHistogram overall = new LatencyHistogram();
+        for (LatencyHistogram histogram : total.histograms) {
+            overall.add(histogram);
+        }
+
+        System.out.println("\n--- Load Test Report ---");
+        System.out.printf("Mode: %s, workers: %d (%s threads), catalog: %d, warmup: %d s, measured: %d s%n",
+                openLoop ? "open" : "closed", threads, virtual ? "virtual" : "platform",
+                catalogSize, warmupSeconds, durationSeconds);
+        if (openLoop) {
+            System.out.println("Latency: measured from each call's scheduled start (corrected for coordinated omission)");
+        } else if (intervalNanos > 0) {
+            System.out.printf("Latency: corrected for coordinated omission at an expected interval of %.3f ms per worker%n",
+                    intervalNanos / 1_000_000.0);
+        } else {
+            System.out.println("Latency: UNCORRECTED for coordinated omission; pass --rate to correct closed-loop results");
+        }
+
+        // Throughput counts real calls; in closed mode the corrected
+        // histograms also hold the synthetic samples for skipped calls.
+        long calls = 0;
+        long errors = 0;
+        for (int i = 0; i < total.calls.length; i++) {
+            calls += total.calls[i];
+            errors += total.errors[i];
+        }
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        double achieved = calls / seconds;
+        System.out.printf("Elapsed: %.2f s%n", seconds);
+        if (openLoop) {
+            System.out.printf("Target rate: %.1f ops/s, achieved: %.1f ops/s%n", rate, achieved);
+        } else if (rate > 0) {
+            // Closed-loop workers do not pace themselves; the rate only sets the correction interval
+            System.out.printf("Expected rate used for correction: %.1f ops/s%n", rate);
+        }
+        System.out.printf("Throughput: %.1f ops/s%n", achieved);
+        if (openLoop) {
+            System.out.printf("Dropped: %d scheduled calls never sent%s%n", total.dropped,
+                    total.dropped > 0 ? " (service could not keep up with the target rate)" : "");
+        }
+        System.out.printf("%n%-8s %10s %8s %10s %10s %10s %10s %10s%n",
+                "Op", "Calls", "Errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation op : Operation.values()) {
+            if (weights[op.ordinal()] > 0) {
+                printRow(op.label, total.histograms[op.ordinal()], total.calls[op.ordinal()], total.errors[op.ordinal()]);
+            }
+        }
+        printRow("total", overall, calls, errors);
+    }
+
+    private static void printRow(String label, LatencyHistogram histogram, long calls, long errors) {
+        System.out.printf("%-8s %10d %8d %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+                label, calls, errors,
+                histogram.getValueAtPercentile(50) / 1_000_000.0,
+                histogram.getValueAtPercentile(90) / 1_000_000.0,
+                histogram.getValueAtPercentile(99) / 1_000_000.0,
+                histogram.getValueAtPercentile(99.9) / 1_000_000.0,
+                histogram.getMaxValue() / 1_000_000.0);
+    }
+}